@@ -1,5 +1,4 @@
 import java.awt.*;
-import java.util.Random;
 
 /**
  * Represents an asteroid in the game with position, movement, and size.
@@ -11,43 +10,21 @@ public class Asteroid {
     private int size; // Size of the asteroid (diameter)
 
     /**
-     * Constructs an Asteroid with random position, movement angle, speed, and size.
-     * Ensures that the asteroid does not spawn overlapping with the spaceship.
-     */
-    public Asteroid() {
-        Random rand = new Random();
-        do {
-            // Randomly initialize the asteroid's position
-            x = rand.nextInt(GamePanel.WIDTH); // X-coordinate within game panel width
-            y = rand.nextInt(GamePanel.HEIGHT); // Y-coordinate within game panel height
-            
-            // Randomly initialize movement angle (0 to 2π)
-            angle = rand.nextDouble() * 2 * Math.PI;
-            
-            // Randomly initialize speed (1 to 3)
-            speed = rand.nextInt(3) + 1;
-            
-            // Randomly initialize size (10 to 30)
-            size = rand.nextInt(20) + 10;
-            
-        // Ensure the asteroid does not spawn overlapping with the spaceship
-        } while (overlapsWithShip());
-    }
-
-    /**
-     * Checks if the asteroid's position overlaps with the spaceship's position.
+     * Constructs an Asteroid with a given position, movement angle, speed, and size.
+     * Callers are responsible for choosing a position that does not overlap the spaceship.
      * 
-     * @return true if the asteroid overlaps with the spaceship, false otherwise
+     * @param x the initial X-coordinate of the asteroid
+     * @param y the initial Y-coordinate of the asteroid
+     * @param angle the angle of movement in radians
+     * @param speed the speed of movement
+     * @param size the size (diameter) of the asteroid
      */
-    private boolean overlapsWithShip() {
-        // Create a bounding rectangle for the asteroid
-        Rectangle asteroidBounds = new Rectangle(x - size / 2, y - size / 2, size, size);
-        
-        // Create a bounding rectangle for the spaceship (assumed to be centered)
-        Rectangle shipBounds = new Rectangle(GamePanel.WIDTH / 2 - 10, GamePanel.HEIGHT / 2 - 10, 20, 20);
-        
-        // Check if the asteroid's bounding rectangle intersects with the spaceship's bounding rectangle
-        return asteroidBounds.intersects(shipBounds);
+    public Asteroid(int x, int y, double angle, int speed, int size) {
+        this.x = x;
+        this.y = y;
+        this.angle = angle;
+        this.speed = speed;
+        this.size = size;
     }
 
     /**
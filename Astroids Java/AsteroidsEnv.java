@@ -0,0 +1,717 @@
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * AsteroidsEnv is a headless, vectorised environment for training agents on the game.
+ * It steps a batch of independent worlds with the same rules as GamePanel's tick, but keeps
+ * every world in flat primitive arrays and writes observations and rewards into buffers
+ * supplied by the caller, so stepping never allocates. Large batches are split into slices
+ * that run in parallel on a private ForkJoinPool.
+ *
+ * Each world is deterministic for a given reset seed. A world whose ship loses its last life
+ * reports done and is reset in the same step, so the observation written for it is the first
+ * observation of its next episode.
+ *
+ * By default asteroids arrive in the waves of waves.txt, placed at the same candidate offsets
+ * around the ship as WaveDirector uses. The classic field of five asteroids is available as an
+ * opt-in mode for comparing with earlier results.
+ */
+public class AsteroidsEnv {
+
+    // Action bits, combined per world in the actions array
+    public static final int ACTION_THRUST = 1;
+    public static final int ACTION_LEFT = 2;
+    public static final int ACTION_RIGHT = 4;
+    public static final int ACTION_FIRE = 8;
+
+    // Observation layout per world
+    public static final int NEAREST_ASTEROIDS = 5; // Asteroids reported, nearest first
+    public static final int NEAREST_BULLETS = 4; // Bullets reported, nearest first
+    private static final int SHIP_FEATURES = 7; // x, y, cos(angle), sin(angle), speed, lives, bullet count
+    private static final int ASTEROID_FEATURES = 4; // dx, dy, size, present
+    private static final int BULLET_FEATURES = 3; // dx, dy, present
+    public static final int OBS_SIZE = SHIP_FEATURES + NEAREST_ASTEROIDS * ASTEROID_FEATURES + NEAREST_BULLETS * BULLET_FEATURES;
+
+    // Reward given for each life lost, on top of the score delta
+    public static final float LIFE_LOSS_PENALTY = -100f;
+
+    // Game rules, matching GamePanel, Spaceship, Bullet, Asteroid and WaveDirector
+    private static final int WIDTH = GamePanel.WIDTH;
+    private static final int HEIGHT = GamePanel.HEIGHT;
+    private static final int START_LIVES = 3;
+    private static final int CLASSIC_ASTEROIDS = 5; // Asteroids kept on screen in the classic field
+    // Positions are truncated to ints, so a bullet moves at least 7 px per tick along one axis
+    // (10 px at 45 degrees) and leaves the 800 px screen within 115 ticks. Firing once per tick
+    // therefore never fills these slots, and the env fires whenever the game would.
+    private static final int MAX_BULLETS = 128;
+    private static final int BULLET_SPEED = 10;
+    private static final int SHIP_SIZE = 20;
+    private static final int SHIP_MAX_SPEED = 5;
+    private static final double TURN_STEP = 0.1;
+    private static final int MAX_ASTEROID_SIZE = 29;
+
+    private static final int WORLDS_PER_SLICE = 256; // Worlds stepped by one parallel task
+
+    private final int numWorlds;
+    private final WaveDirector.Wave[] waves; // Wave definitions, null for the classic field
+    private final int maxAsteroids; // Asteroid slots per world
+
+    // Ship state, one entry per world
+    private final int[] shipX, shipY, shipSpeed;
+    private final double[] shipAngle;
+    private final double[] shipCos, shipSin; // Cached heading, updated only when the ship turns
+    private final boolean[] shipAccelerating;
+    private final int[] score, lives;
+    private final long[] rng; // Random state per world
+    private final int[] waveNumber, spawned; // Current wave and asteroids spawned in it, as in WaveDirector
+
+    // Bullets, MAX_BULLETS slots per world
+    private final int[] bulletCount;
+    private final int[] bulletX, bulletY;
+    private final double[] bulletDx, bulletDy;
+
+    // Asteroids, maxAsteroids slots per world
+    private final int[] asteroidCount;
+    private final int[] asteroidX, asteroidY, asteroidSize;
+    private final double[] asteroidDx, asteroidDy;
+
+    // Parallel execution
+    private final ForkJoinPool pool;
+    private final Slice[] slices;
+    private final RecursiveAction batch;
+
+    // Buffers for the step in progress, read by the slices
+    private int[] actions;
+    private float[] observations;
+    private float[] rewards;
+    private byte[] dones;
+
+    /**
+     * Creates an environment with one worker thread per available processor.
+     *
+     * @param numWorlds the number of worlds stepped together
+     */
+    public AsteroidsEnv(int numWorlds) {
+        this(numWorlds, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an environment that follows the waves of waves.txt.
+     *
+     * @param numWorlds the number of worlds stepped together
+     * @param threads the number of worker threads, 1 to step on the caller's thread
+     */
+    public AsteroidsEnv(int numWorlds, int threads) {
+        this(numWorlds, threads, false);
+    }
+
+    /**
+     * Creates an environment.
+     *
+     * @param numWorlds the number of worlds stepped together
+     * @param threads the number of worker threads, 1 to step on the caller's thread
+     * @param classicField true to keep five uniformly placed asteroids on screen instead of
+     *                     following the waves of waves.txt
+     */
+    public AsteroidsEnv(int numWorlds, int threads, boolean classicField) {
+        if (numWorlds <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("numWorlds and threads must be positive");
+        }
+        this.numWorlds = numWorlds;
+        if (classicField) {
+            waves = null;
+            maxAsteroids = CLASSIC_ASTEROIDS;
+        } else {
+            List<WaveDirector.Wave> loaded = WaveDirector.loadWaves(WaveDirector.DEFAULT_RESOURCE);
+            waves = loaded.toArray(new WaveDirector.Wave[0]);
+            int most = 0;
+            for (WaveDirector.Wave wave : waves) {
+                most = Math.max(most, wave.maxActive);
+            }
+            maxAsteroids = most;
+        }
+
+        shipX = new int[numWorlds];
+        shipY = new int[numWorlds];
+        shipSpeed = new int[numWorlds];
+        shipAngle = new double[numWorlds];
+        shipCos = new double[numWorlds];
+        shipSin = new double[numWorlds];
+        shipAccelerating = new boolean[numWorlds];
+        score = new int[numWorlds];
+        lives = new int[numWorlds];
+        rng = new long[numWorlds];
+        waveNumber = new int[numWorlds];
+        spawned = new int[numWorlds];
+
+        bulletCount = new int[numWorlds];
+        bulletX = new int[numWorlds * MAX_BULLETS];
+        bulletY = new int[numWorlds * MAX_BULLETS];
+        bulletDx = new double[numWorlds * MAX_BULLETS];
+        bulletDy = new double[numWorlds * MAX_BULLETS];
+
+        asteroidCount = new int[numWorlds];
+        asteroidX = new int[numWorlds * maxAsteroids];
+        asteroidY = new int[numWorlds * maxAsteroids];
+        asteroidSize = new int[numWorlds * maxAsteroids];
+        asteroidDx = new double[numWorlds * maxAsteroids];
+        asteroidDy = new double[numWorlds * maxAsteroids];
+
+        int sliceCount = (numWorlds + WORLDS_PER_SLICE - 1) / WORLDS_PER_SLICE;
+        slices = new Slice[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new Slice(i * WORLDS_PER_SLICE, Math.min(numWorlds, (i + 1) * WORLDS_PER_SLICE));
+        }
+        if (threads > 1 && sliceCount > 1) {
+            pool = new ForkJoinPool(threads);
+            batch = new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(slices); // Array overload, no allocation
+                }
+            };
+        } else {
+            pool = null; // Step on the caller's thread
+            batch = null;
+        }
+    }
+
+    /**
+     * Resets every world to the start of a game.
+     *
+     * @param seed the base seed, each world derives its own seed from it
+     * @param observations receives the first observation of each world, numWorlds * OBS_SIZE floats
+     */
+    public void reset(long seed, float[] observations) {
+        checkLength(observations, (long) numWorlds * OBS_SIZE, "observations");
+        for (int w = 0; w < numWorlds; w++) {
+            rng[w] = mix(seed + 0x9E3779B97F4A7C15L * (w + 1));
+            resetWorld(w);
+            writeObservation(w, observations, slices[w / WORLDS_PER_SLICE]);
+        }
+    }
+
+    /**
+     * Advances every world by one game tick.
+     *
+     * @param actions the action bits for each world, numWorlds ints
+     * @param observations receives the observation of each world, numWorlds * OBS_SIZE floats
+     * @param rewards receives the reward of each world, numWorlds floats
+     * @param dones receives 1 for each world whose game ended this step and was reset, 0 otherwise
+     */
+    public void step(int[] actions, float[] observations, float[] rewards, byte[] dones) {
+        checkLength(actions.length, numWorlds, "actions");
+        checkLength(observations, (long) numWorlds * OBS_SIZE, "observations");
+        checkLength(rewards.length, numWorlds, "rewards");
+        checkLength(dones.length, numWorlds, "dones");
+
+        this.actions = actions;
+        this.observations = observations;
+        this.rewards = rewards;
+        this.dones = dones;
+
+        if (pool == null) {
+            for (Slice slice : slices) {
+                slice.run();
+            }
+        } else {
+            for (Slice slice : slices) {
+                slice.reinitialize();
+            }
+            batch.reinitialize();
+            pool.invoke(batch);
+        }
+
+        this.actions = null;
+        this.observations = null;
+        this.rewards = null;
+        this.dones = null;
+    }
+
+    /**
+     * Gets the number of worlds in the batch.
+     *
+     * @return the number of worlds
+     */
+    public int getNumWorlds() {
+        return numWorlds;
+    }
+
+    /**
+     * Gets the current score of a world.
+     *
+     * @param world the world index
+     * @return the score of the world
+     */
+    public int getScore(int world) {
+        return score[world];
+    }
+
+    /**
+     * Gets the remaining lives of a world.
+     *
+     * @param world the world index
+     * @return the lives of the world
+     */
+    public int getLives(int world) {
+        return lives[world];
+    }
+
+    /**
+     * Gets the current wave of a world. The classic field stays at wave 1.
+     *
+     * @param world the world index
+     * @return the wave of the world, starting at 1
+     */
+    public int getWave(int world) {
+        return waveNumber[world];
+    }
+
+    /**
+     * Shuts down the worker threads.
+     */
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * A contiguous range of worlds stepped by one task, with its own scratch space.
+     */
+    private final class Slice extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+        // Distances and indices of the nearest objects, used while writing observations
+        private final int[] nearestIndex = new int[Math.max(NEAREST_ASTEROIDS, NEAREST_BULLETS)];
+        private final long[] nearestDistance = new long[Math.max(NEAREST_ASTEROIDS, NEAREST_BULLETS)];
+
+        Slice(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            run();
+        }
+
+        void run() {
+            for (int w = from; w < to; w++) {
+                stepWorld(w, actions[w], this);
+            }
+        }
+    }
+
+    /**
+     * Advances one world by one tick, following the phases of GamePanel.updateGame.
+     */
+    private void stepWorld(int w, int action, Slice slice) {
+        int scoreBefore = score[w];
+        int livesBefore = lives[w];
+
+        // Move the spaceship with the controls of the previous tick
+        int speed = shipAccelerating[w] ? shipSpeed[w] + 1 : (int) (shipSpeed[w] * 0.99);
+        if (speed > SHIP_MAX_SPEED) speed = SHIP_MAX_SPEED;
+        if (speed < -SHIP_MAX_SPEED) speed = -SHIP_MAX_SPEED;
+        shipSpeed[w] = speed;
+        int x = (int) (shipX[w] + speed * shipCos[w]);
+        int y = (int) (shipY[w] + speed * shipSin[w]);
+        if (x < 0) x = WIDTH;
+        if (x > WIDTH) x = 0;
+        if (y < 0) y = HEIGHT;
+        if (y > HEIGHT) y = 0;
+        shipX[w] = x;
+        shipY[w] = y;
+
+        // Apply the controls
+        shipAccelerating[w] = (action & ACTION_THRUST) != 0;
+        if ((action & (ACTION_LEFT | ACTION_RIGHT)) != 0) {
+            if ((action & ACTION_LEFT) != 0) {
+                shipAngle[w] -= TURN_STEP;
+            } else {
+                shipAngle[w] += TURN_STEP;
+            }
+            shipCos[w] = Math.cos(shipAngle[w]);
+            shipSin[w] = Math.sin(shipAngle[w]);
+        }
+        int bulletBase = w * MAX_BULLETS;
+        if ((action & ACTION_FIRE) != 0 && bulletCount[w] < MAX_BULLETS) {
+            int b = bulletBase + bulletCount[w]++;
+            bulletX[b] = x;
+            bulletY[b] = y;
+            bulletDx[b] = BULLET_SPEED * shipCos[w];
+            bulletDy[b] = BULLET_SPEED * shipSin[w];
+        }
+
+        // Move asteroids. Bullets and asteroids move independently, so moving the asteroids
+        // first lets each bullet be moved and tested in a single pass below.
+        int asteroidBase = w * maxAsteroids;
+        int asteroids = asteroidCount[w];
+        for (int i = 0; i < asteroids; i++) {
+            int a = asteroidBase + i;
+            int size = asteroidSize[a];
+            int ax = (int) (asteroidX[a] + asteroidDx[a]);
+            int ay = (int) (asteroidY[a] + asteroidDy[a]);
+            if (ax < -size) ax = WIDTH + size;
+            if (ax > WIDTH + size) ax = -size;
+            if (ay < -size) ay = HEIGHT + size;
+            if (ay > HEIGHT + size) ay = -size;
+            asteroidX[a] = ax;
+            asteroidY[a] = ay;
+        }
+
+        // Move bullets, dropping those that left the screen, and let each remaining bullet
+        // destroy at most the first asteroid it hits
+        int bullets = bulletCount[w];
+        int kept = 0;
+        for (int i = 0; i < bullets; i++) {
+            int b = bulletBase + i;
+            int bx = (int) (bulletX[b] + bulletDx[b]);
+            int by = (int) (bulletY[b] + bulletDy[b]);
+            if (bx < 0 || bx > WIDTH || by < 0 || by > HEIGHT) {
+                continue;
+            }
+            int hit = -1;
+            for (int j = 0; j < asteroids; j++) {
+                int a = asteroidBase + j;
+                int size = asteroidSize[a];
+                if (intersects(bx - 2, by - 2, 4, 4, asteroidX[a] - size / 2, asteroidY[a] - size / 2, size, size)) {
+                    hit = j;
+                    break;
+                }
+            }
+            if (hit >= 0) {
+                removeAsteroid(w, hit);
+                asteroids--;
+                score[w] += 10;
+            } else {
+                moveBullet(bulletBase + kept++, b, bx, by);
+            }
+        }
+        bulletCount[w] = kept;
+
+        // Ship-asteroid collisions
+        boolean gameOver = false;
+        for (int j = 0; j < asteroidCount[w]; j++) {
+            int a = asteroidBase + j;
+            int size = asteroidSize[a];
+            if (intersects(shipX[w] - SHIP_SIZE / 2, shipY[w] - SHIP_SIZE / 2, SHIP_SIZE, SHIP_SIZE, asteroidX[a] - size / 2, asteroidY[a] - size / 2, size, size)) {
+                lives[w]--;
+                if (lives[w] <= 0) {
+                    gameOver = true;
+                } else {
+                    resetShip(w);
+                    asteroidCount[w] = 0; // Clear the field
+                    spawned[w] = 0; // The spawn below starts the current wave over
+                }
+                break;
+            }
+        }
+
+        rewards[w] = (score[w] - scoreBefore) + (livesBefore - lives[w]) * LIFE_LOSS_PENALTY;
+        dones[w] = (byte) (gameOver ? 1 : 0);
+
+        if (gameOver) {
+            resetWorld(w); // Start the next episode right away
+        } else {
+            spawnAsteroids(w);
+        }
+        writeObservation(w, observations, slice);
+    }
+
+    /**
+     * Copies a bullet to another slot with a new position.
+     */
+    private void moveBullet(int to, int from, int x, int y) {
+        bulletX[to] = x;
+        bulletY[to] = y;
+        bulletDx[to] = bulletDx[from];
+        bulletDy[to] = bulletDy[from];
+    }
+
+    /**
+     * Removes an asteroid, keeping the remaining ones in order.
+     */
+    private void removeAsteroid(int w, int index) {
+        int base = w * maxAsteroids;
+        for (int j = index + 1; j < asteroidCount[w]; j++) {
+            int to = base + j - 1;
+            int from = base + j;
+            asteroidX[to] = asteroidX[from];
+            asteroidY[to] = asteroidY[from];
+            asteroidSize[to] = asteroidSize[from];
+            asteroidDx[to] = asteroidDx[from];
+            asteroidDy[to] = asteroidDy[from];
+        }
+        asteroidCount[w]--;
+    }
+
+    /**
+     * Puts a world back at the start of a game, keeping its random state.
+     */
+    private void resetWorld(int w) {
+        score[w] = 0;
+        lives[w] = START_LIVES;
+        resetShip(w);
+        bulletCount[w] = 0;
+        asteroidCount[w] = 0;
+        waveNumber[w] = 1;
+        spawned[w] = 0;
+        spawnAsteroids(w);
+    }
+
+    /**
+     * Puts the ship back in the center, at rest and facing right.
+     */
+    private void resetShip(int w) {
+        shipX[w] = WIDTH / 2;
+        shipY[w] = HEIGHT / 2;
+        shipSpeed[w] = 0;
+        shipAngle[w] = 0;
+        shipCos[w] = 1;
+        shipSin[w] = 0;
+        shipAccelerating[w] = false;
+    }
+
+    /**
+     * Runs the spawn phase of a world in the mode the environment was created with.
+     */
+    private void spawnAsteroids(int w) {
+        if (waves == null) {
+            spawnClassicField(w);
+        } else {
+            spawnWave(w);
+        }
+    }
+
+    /**
+     * Advances to the next wave once the current one is cleared, then spawns at most one batch
+     * at distinct candidate offsets around the ship, as WaveDirector.update does. There is no
+     * time budget, so a batch is always spawned whole and the world stays deterministic.
+     */
+    private void spawnWave(int w) {
+        WaveDirector.Wave wave = waves[Math.min(waveNumber[w], waves.length) - 1];
+        if (spawned[w] >= wave.count && asteroidCount[w] == 0) {
+            waveNumber[w]++; // Wave cleared
+            spawned[w] = 0;
+            wave = waves[Math.min(waveNumber[w], waves.length) - 1];
+        }
+
+        int toSpawn = Math.min(wave.batch, Math.min(wave.count - spawned[w], wave.maxActive - asteroidCount[w]));
+        long used = 0; // Candidates taken by this batch, one bit each
+        for (int i = 0; i < toSpawn; i++) {
+            if (used == WaveDirector.ALL_CANDIDATES) {
+                used = 0; // Batch larger than the candidate set, start a new round
+            }
+            int candidate = WaveDirector.freeCandidate(nextInt(w, WaveDirector.CANDIDATE_DX.length - Long.bitCount(used)), used);
+            used |= 1L << candidate;
+            int x = shipX[w] + WaveDirector.CANDIDATE_DX[candidate] + nextInt(w, 2 * WaveDirector.JITTER + 1) - WaveDirector.JITTER;
+            int y = shipY[w] + WaveDirector.CANDIDATE_DY[candidate] + nextInt(w, 2 * WaveDirector.JITTER + 1) - WaveDirector.JITTER;
+            double angle = nextDouble(w) * 2 * Math.PI;
+            int speed = wave.minSpeed + nextInt(w, wave.maxSpeed - wave.minSpeed + 1);
+            int size = wave.minSize + nextInt(w, wave.maxSize - wave.minSize + 1);
+            addAsteroid(w, Math.floorMod(x, WIDTH), Math.floorMod(y, HEIGHT), angle, speed, size);
+            spawned[w]++;
+        }
+    }
+
+    /**
+     * Fills a world up to CLASSIC_ASTEROIDS asteroids, none overlapping the center of the screen,
+     * as the original Asteroid constructor did.
+     */
+    private void spawnClassicField(int w) {
+        while (asteroidCount[w] < CLASSIC_ASTEROIDS) {
+            int x, y, speed, size;
+            double angle;
+            do {
+                x = nextInt(w, WIDTH);
+                y = nextInt(w, HEIGHT);
+                angle = nextDouble(w) * 2 * Math.PI;
+                speed = nextInt(w, 3) + 1;
+                size = nextInt(w, 20) + 10;
+            } while (intersects(x - size / 2, y - size / 2, size, size, WIDTH / 2 - 10, HEIGHT / 2 - 10, 20, 20));
+            addAsteroid(w, x, y, angle, speed, size);
+        }
+    }
+
+    /**
+     * Appends an asteroid to a world.
+     */
+    private void addAsteroid(int w, int x, int y, double angle, int speed, int size) {
+        int a = w * maxAsteroids + asteroidCount[w]++;
+        asteroidX[a] = x;
+        asteroidY[a] = y;
+        asteroidSize[a] = size;
+        asteroidDx[a] = speed * Math.cos(angle);
+        asteroidDy[a] = speed * Math.sin(angle);
+    }
+
+    /**
+     * Writes the observation of one world.
+     */
+    private void writeObservation(int w, float[] obs, Slice slice) {
+        int o = w * OBS_SIZE;
+        int sx = shipX[w];
+        int sy = shipY[w];
+        obs[o++] = (float) sx / WIDTH;
+        obs[o++] = (float) sy / HEIGHT;
+        obs[o++] = (float) shipCos[w];
+        obs[o++] = (float) shipSin[w];
+        obs[o++] = (float) shipSpeed[w] / SHIP_MAX_SPEED;
+        obs[o++] = (float) lives[w] / START_LIVES;
+        obs[o++] = (float) bulletCount[w] / MAX_BULLETS;
+
+        // Nearest asteroids, as wrapped offsets from the ship
+        int found = nearest(sx, sy, asteroidX, asteroidY, w * maxAsteroids, asteroidCount[w], NEAREST_ASTEROIDS, true, slice);
+        for (int k = 0; k < NEAREST_ASTEROIDS; k++) {
+            if (k < found) {
+                int a = slice.nearestIndex[k];
+                obs[o++] = (float) wrappedDelta(asteroidX[a] - sx, WIDTH) / WIDTH;
+                obs[o++] = (float) wrappedDelta(asteroidY[a] - sy, HEIGHT) / HEIGHT;
+                obs[o++] = (float) asteroidSize[a] / MAX_ASTEROID_SIZE;
+                obs[o++] = 1f;
+            } else {
+                obs[o++] = 0f;
+                obs[o++] = 0f;
+                obs[o++] = 0f;
+                obs[o++] = 0f;
+            }
+        }
+
+        // Nearest bullets, as plain offsets from the ship since bullets never wrap
+        found = nearest(sx, sy, bulletX, bulletY, w * MAX_BULLETS, bulletCount[w], NEAREST_BULLETS, false, slice);
+        for (int k = 0; k < NEAREST_BULLETS; k++) {
+            if (k < found) {
+                int b = slice.nearestIndex[k];
+                obs[o++] = (float) (bulletX[b] - sx) / WIDTH;
+                obs[o++] = (float) (bulletY[b] - sy) / HEIGHT;
+                obs[o++] = 1f;
+            } else {
+                obs[o++] = 0f;
+                obs[o++] = 0f;
+                obs[o++] = 0f;
+            }
+        }
+    }
+
+    /**
+     * Finds the nearest objects to a point by insertion into the slice's scratch arrays.
+     * Distances wrap around the screen edges only for objects that wrap themselves.
+     *
+     * @return the number of objects found, at most limit
+     */
+    private static int nearest(int px, int py, int[] xs, int[] ys, int base, int count, int limit, boolean wrap, Slice slice) {
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            long dx = xs[base + i] - px;
+            long dy = ys[base + i] - py;
+            if (wrap) {
+                dx = wrappedDelta((int) dx, WIDTH);
+                dy = wrappedDelta((int) dy, HEIGHT);
+            }
+            long d = dx * dx + dy * dy;
+            if (found == limit && d >= slice.nearestDistance[limit - 1]) {
+                continue;
+            }
+            int k = found < limit ? found++ : limit - 1;
+            while (k > 0 && slice.nearestDistance[k - 1] > d) {
+                slice.nearestDistance[k] = slice.nearestDistance[k - 1];
+                slice.nearestIndex[k] = slice.nearestIndex[k - 1];
+                k--;
+            }
+            slice.nearestDistance[k] = d;
+            slice.nearestIndex[k] = base + i;
+        }
+        return found;
+    }
+
+    /**
+     * Gets the shortest offset along an axis that wraps around the screen.
+     */
+    private static int wrappedDelta(int delta, int extent) {
+        if (delta > extent / 2) return delta - extent;
+        if (delta < -extent / 2) return delta + extent;
+        return delta;
+    }
+
+    /**
+     * Same test as Rectangle.intersects, without creating rectangles.
+     */
+    private static boolean intersects(int x1, int y1, int w1, int h1, int x2, int y2, int w2, int h2) {
+        return x1 < x2 + w2 && x2 < x1 + w1 && y1 < y2 + h2 && y2 < y1 + h1;
+    }
+
+    /**
+     * SplitMix64 step on the world's random state.
+     */
+    private long nextLong(int w) {
+        return mix(rng[w] += 0x9E3779B97F4A7C15L);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private int nextInt(int w, int bound) {
+        return (int) (((nextLong(w) >>> 33) * bound) >>> 31);
+    }
+
+    private double nextDouble(int w) {
+        return (nextLong(w) >>> 11) * 0x1.0p-53;
+    }
+
+    private static void checkLength(float[] buffer, long expected, String name) {
+        checkLength(buffer.length, expected, name);
+    }
+
+    private static void checkLength(int length, long expected, String name) {
+        if (length < expected) {
+            throw new IllegalArgumentException(name + " must hold at least " + expected + " values, got " + length);
+        }
+    }
+
+    /**
+     * Measures stepping throughput with random actions.
+     *
+     * @param args the number of worlds, the number of steps (defaults 4096 and 2000) and
+     *             optionally "classic" for the classic field
+     */
+    public static void main(String[] args) {
+        int worlds = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        boolean classicField = args.length > 2 && args[2].equals("classic");
+        AsteroidsEnv env = new AsteroidsEnv(worlds, Runtime.getRuntime().availableProcessors(), classicField);
+        int[] actions = new int[worlds];
+        float[] observations = new float[worlds * OBS_SIZE];
+        float[] rewards = new float[worlds];
+        byte[] dones = new byte[worlds];
+        env.reset(42, observations);
+
+        long actionState = 1;
+        long episodes = 0;
+        long start = System.nanoTime();
+        for (int s = 0; s < steps; s++) {
+            for (int w = 0; w < worlds; w++) {
+                actionState = mix(actionState + w);
+                actions[w] = (int) (actionState & 15);
+            }
+            env.step(actions, observations, rewards, dones);
+            for (int w = 0; w < worlds; w++) {
+                episodes += dones[w];
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        env.close();
+        int highestWave = 0;
+        for (int w = 0; w < worlds; w++) {
+            highestWave = Math.max(highestWave, env.getWave(w));
+        }
+        System.out.printf("%d worlds x %d steps in %.2f s: %.0f steps/s, %d episodes finished, highest wave %d%n",
+                worlds, steps, seconds, worlds * (double) steps / seconds, episodes, highestWave);
+    }
+}
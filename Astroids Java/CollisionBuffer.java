@@ -0,0 +1,157 @@
+import java.util.Arrays;
+
+/**
+ * CollisionBuffer holds the collision events detected during one game tick.
+ * Events are stored in parallel primitive arrays that are reused from tick to tick,
+ * so detecting collisions does not allocate once the buffer has grown to its working size.
+ */
+public class CollisionBuffer {
+
+    // Event types
+    public static final int BULLET_ASTEROID = 0; // A bullet destroyed an asteroid
+    public static final int SHIP_ASTEROID = 1; // An asteroid hit the spaceship
+
+    private int[] type; // Type of each event
+    private int[] bullet; // Index of the bullet in the bullet list as detected, or -1
+    private int[] asteroid; // Index of the asteroid in the asteroid list as detected
+    private int[] x, y; // Position of the asteroid when the collision was detected
+    private int[] size; // Size of the asteroid
+    private int count; // Number of events in the buffer
+
+    /**
+     * Constructs an empty CollisionBuffer.
+     *
+     * @param capacity the initial number of events the buffer can hold
+     */
+    public CollisionBuffer(int capacity) {
+        type = new int[capacity];
+        bullet = new int[capacity];
+        asteroid = new int[capacity];
+        x = new int[capacity];
+        y = new int[capacity];
+        size = new int[capacity];
+    }
+
+    /**
+     * Removes all events, keeping the storage for the next tick.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Appends an event, growing the buffer if it is full.
+     *
+     * @param eventType BULLET_ASTEROID or SHIP_ASTEROID
+     * @param bulletIndex the index of the bullet, or -1 if no bullet is involved
+     * @param asteroidIndex the index of the asteroid
+     * @param hit the asteroid involved in the collision
+     */
+    public void add(int eventType, int bulletIndex, int asteroidIndex, Asteroid hit) {
+        if (count == type.length) {
+            grow();
+        }
+        type[count] = eventType;
+        bullet[count] = bulletIndex;
+        asteroid[count] = asteroidIndex;
+        x[count] = hit.getX();
+        y[count] = hit.getY();
+        size[count] = hit.getSize();
+        count++;
+    }
+
+    /**
+     * Doubles the capacity of every array.
+     */
+    private void grow() {
+        int capacity = Math.max(8, type.length * 2);
+        type = Arrays.copyOf(type, capacity);
+        bullet = Arrays.copyOf(bullet, capacity);
+        asteroid = Arrays.copyOf(asteroid, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        size = Arrays.copyOf(size, capacity);
+    }
+
+    /**
+     * Gets the number of events in the buffer.
+     *
+     * @return the number of events
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the type of an event.
+     *
+     * @param i the index of the event
+     * @return BULLET_ASTEROID or SHIP_ASTEROID
+     */
+    public int getType(int i) {
+        return type[i];
+    }
+
+    /**
+     * Gets the index of the bullet involved in an event.
+     *
+     * @param i the index of the event
+     * @return the bullet's index in the bullet list before resolving, or -1 if no bullet is involved
+     */
+    public int getBullet(int i) {
+        return bullet[i];
+    }
+
+    /**
+     * Gets the index of the asteroid involved in an event.
+     *
+     * @param i the index of the event
+     * @return the asteroid's index in the asteroid list before resolving
+     */
+    public int getAsteroid(int i) {
+        return asteroid[i];
+    }
+
+    /**
+     * Gets the X-coordinate of the asteroid involved in an event.
+     *
+     * @param i the index of the event
+     * @return the X-coordinate of the asteroid
+     */
+    public int getX(int i) {
+        return x[i];
+    }
+
+    /**
+     * Gets the Y-coordinate of the asteroid involved in an event.
+     *
+     * @param i the index of the event
+     * @return the Y-coordinate of the asteroid
+     */
+    public int getY(int i) {
+        return y[i];
+    }
+
+    /**
+     * Gets the size of the asteroid involved in an event.
+     *
+     * @param i the index of the event
+     * @return the size of the asteroid
+     */
+    public int getSize(int i) {
+        return size[i];
+    }
+
+    /**
+     * Interface for subsystems that consume the collision events of each tick as one batch.
+     */
+    public interface CollisionListener {
+        /**
+         * Called once per tick after the collisions have been resolved.
+         * The buffer is only valid for the duration of the call.
+         *
+         * @param events the collision events of the tick, in resolve order
+         */
+        void onCollisions(CollisionBuffer events);
+    }
+}
@@ -0,0 +1,116 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * GameEvents holds the JDK Flight Recorder events emitted by the game.
+ * They show up under the "Asteroids" category in JDK Mission Control.
+ * Events cost next to nothing while no recording is running.
+ */
+public final class GameEvents {
+
+    private GameEvents() {
+        // Only holds event classes
+    }
+
+    /**
+     * One game tick, from input handling to the end of the spawn phase.
+     */
+    @Name("asteroids.Tick")
+    @Label("Game Tick")
+    @Category("Asteroids")
+    @Description("One simulation step of the game loop")
+    @StackTrace(false)
+    public static class TickEvent extends Event {
+        @Label("Tick")
+        long tick;
+
+        @Label("Bullets")
+        int bullets;
+
+        @Label("Asteroids")
+        int asteroids;
+
+        @Label("Collisions")
+        int collisions;
+    }
+
+    /**
+     * A tick that started much later than the timer delay, or took too long itself.
+     */
+    @Name("asteroids.SlowFrame")
+    @Label("Slow Frame")
+    @Category("Asteroids")
+    @Description("A frame whose interval or tick time exceeded the budget")
+    @StackTrace(false)
+    public static class SlowFrameEvent extends Event {
+        @Label("Tick")
+        long tick;
+
+        @Label("Frame Interval")
+        @Timespan(Timespan.NANOSECONDS)
+        long interval;
+
+        @Label("Tick Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long tickTime;
+    }
+
+    /**
+     * A tick with an unusually large number of collisions.
+     */
+    @Name("asteroids.CollisionBurst")
+    @Label("Collision Burst")
+    @Category("Asteroids")
+    @Description("A tick that resolved many collisions at once")
+    @StackTrace(false)
+    public static class CollisionBurstEvent extends Event {
+        @Label("Tick")
+        long tick;
+
+        @Label("Collisions")
+        int collisions;
+
+        @Label("Asteroids")
+        int asteroids;
+    }
+
+    /**
+     * A new game was started or restarted.
+     */
+    @Name("asteroids.GameStart")
+    @Label("Game Start")
+    @Category("Asteroids")
+    @StackTrace(false)
+    public static class GameStartEvent extends Event {
+        @Label("Lives")
+        int lives;
+    }
+
+    /**
+     * The game ended because the spaceship lost its last life.
+     */
+    @Name("asteroids.GameEnd")
+    @Label("Game End")
+    @Category("Asteroids")
+    @StackTrace(false)
+    public static class GameEndEvent extends Event {
+        @Label("Score")
+        int score;
+
+        @Label("Wave")
+        int wave;
+
+        @Label("Ticks Played")
+        long ticks;
+
+        @Label("Game Duration")
+        @Description("Time played, not counting pauses")
+        @Timespan(Timespan.NANOSECONDS)
+        long gameDuration;
+    }
+}
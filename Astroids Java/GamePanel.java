@@ -1,6 +1,8 @@
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
 import javax.swing.*;
 
 /**
@@ -25,19 +27,32 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
     private Spaceship spaceship; // Player's spaceship
     private final ArrayList<Bullet> bullets; // List of bullets fired by the spaceship
     private ArrayList<Asteroid> asteroids; // List of asteroids in the game
+    private final WaveDirector waveDirector; // Decides when and where asteroids spawn
+
+    // Collision pipeline, reused every tick
+    private final CollisionBuffer collisions = new CollisionBuffer(16); // Events detected this tick
+    private final ArrayList<CollisionBuffer.CollisionListener> collisionListeners = new ArrayList<>(); // Consumers of collision events
+    private boolean[] asteroidClaimed = new boolean[16]; // Asteroids already hit during detection
+    private final Rectangle shipBounds = new Rectangle(); // Bounds of the spaceship
+    private final Rectangle bulletBounds = new Rectangle(); // Bounds of the bullet being checked
+    private final Rectangle asteroidBounds = new Rectangle(); // Bounds of the asteroid being checked
 
     // Track key states
     private boolean upKeyPressed;
     private boolean leftKeyPressed;
     private boolean rightKeyPressed;
     private boolean spaceKeyPressed;
+    private boolean pKeyPressed; // Latches the pause key so auto-repeat toggles only once
 
     // Game states
     private boolean gameRunning; // Flag to check if the game is running
+    private boolean paused; // Flag to check if the running game is paused
     private StartScreenPanel startScreenPanel; // Panel displayed at the start of the game
     private GameOverPanel gameOverPanel; // Panel displayed when the game is over
 
     private JFrame mainFrame; // Reference to the main JFrame
+    private final SoundEngine sound; // Mixer for sound effects
+    private final GameStats stats; // Live telemetry for JMX and JFR
 
     /**
      * Constructor to initialize the GamePanel.
@@ -50,9 +65,14 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
         setBackground(Color.BLACK); // Set background color
         setFocusable(true); // Make sure the panel can receive focus
 
+        sound = SoundEngine.open(); // Decode sound effects and start the mixer
+        stats = GameStats.register(DELAY * 1_000_000L); // Expose telemetry over JMX
+        addCollisionListener(this::playCollisionSounds); // Play sounds for collisions
+
         // Initialize game components
         bullets = new ArrayList<>();
         asteroids = new ArrayList<>();
+        waveDirector = WaveDirector.load(WaveDirector.DEFAULT_RESOURCE); // Read wave definitions
         score = 0;
         lives = 3; // Set initial number of lives
         gameRunning = false;
@@ -66,6 +86,22 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
         addKeyListener(this); // Add key listener to handle user input
         add(startScreenPanel); // Add start screen panel to this panel
 
+        // Pause automatically when the window is minimised or loses focus
+        WindowAdapter autoPause = new WindowAdapter() {
+            @Override
+            public void windowIconified(WindowEvent e) {
+                pause();
+            }
+
+            @Override
+            public void windowLostFocus(WindowEvent e) {
+                pKeyPressed = false; // Its release would not be reported while unfocused
+                pause();
+            }
+        };
+        mainFrame.addWindowListener(autoPause);
+        mainFrame.addWindowFocusListener(autoPause);
+
         // Initialize key states
         upKeyPressed = false;
         leftKeyPressed = false;
@@ -78,11 +114,13 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
      */
     private void startGame() {
         gameRunning = true; // Set game running flag
+        paused = false; // Start unpaused
         lives = 3; // Reset lives
         score = 0; // Reset score
         spaceship = new Spaceship(WIDTH / 2, HEIGHT / 2); // Initialize spaceship at the center
         timer = new Timer(DELAY, this); // Initialize timer for game loop
         timer.start(); // Start the game loop
+        stats.gameStarted(lives); // Record the game start
 
         // Spawn initial asteroids
         spawnInitialAsteroids();
@@ -93,13 +131,12 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
     }
 
     /**
-     * Spawns the initial set of asteroids in the game.
+     * Spawns the initial set of asteroids in the game, starting from the first wave.
      */
     private void spawnInitialAsteroids() {
         asteroids.clear(); // Clear existing asteroids
-        while (asteroids.size() < 5) {
-            asteroids.add(new Asteroid()); // Add new asteroids
-        }
+        waveDirector.reset(); // Go back to the first wave
+        waveDirector.update(asteroids, spaceship); // Spawn the first batch
     }
 
     @Override
@@ -108,9 +145,29 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
         if (gameRunning) {
             drawGame(g); // Draw game elements
             drawScore(g); // Draw score and lives
-        } else {
-            gameOverPanel.repaint(); // Paint game over panel if game is not running
+            if (paused) {
+                drawPaused(g); // Draw pause overlay
+            }
         }
+        // Menu screens are separate panels that Swing repaints only when needed
+    }
+
+    /**
+     * Draws the pause message over the game.
+     * 
+     * @param g the Graphics object used for painting
+     */
+    private void drawPaused(Graphics g) {
+        g.setColor(Color.white); // Set color for text
+        g.setFont(new Font("Arial", Font.BOLD, 36)); // Set font for pause message
+        String pausedMessage = "PAUSED";
+        int pausedWidth = g.getFontMetrics().stringWidth(pausedMessage); // Calculate width of the message
+        g.drawString(pausedMessage, WIDTH / 2 - pausedWidth / 2, HEIGHT / 2 - 50); // Center the message horizontally
+
+        g.setFont(new Font("Arial", Font.PLAIN, 20)); // Set font for resume hint
+        String hint = "Press P to resume";
+        int hintWidth = g.getFontMetrics().stringWidth(hint); // Calculate width of the hint
+        g.drawString(hint, WIDTH / 2 - hintWidth / 2, HEIGHT / 2); // Center the hint horizontally
     }
 
     /**
@@ -138,16 +195,44 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
         g.setFont(new Font("Arial", Font.BOLD, 20)); // Set font for score display
         g.drawString("Score: " + score, 20, 30); // Draw score
         g.drawString("Lives: " + lives, WIDTH - 120, 30); // Draw lives
+        String wave = "Wave: " + waveDirector.getWaveNumber();
+        g.drawString(wave, WIDTH / 2 - g.getFontMetrics().stringWidth(wave) / 2, 30); // Draw wave number
     }
 
     /**
-     * Updates the game state, including spaceship movement, bullet and asteroid positions, and collision detection.
+     * Advances the game by one tick in four phases: integrate moves everything, detect records
+     * collisions without changing the world, resolve applies them in order, and spawn refills
+     * the asteroid field.
      */
     private void updateGame() {
         if (!gameRunning) {
             return; // Do nothing if the game is not running
         }
 
+        long tickStart = stats.tickStarted(); // Start timing the tick
+        integrate(); // Apply input and move all game objects
+        detectCollisions(); // Record collisions into the event buffer
+        boolean shipDestroyed = resolveCollisions(); // Apply collisions to the world
+
+        // Let subsystems consume this tick's events as one batch
+        for (CollisionBuffer.CollisionListener listener : collisionListeners) {
+            listener.onCollisions(collisions);
+        }
+
+        if (!shipDestroyed) {
+            spawn(); // Refill the asteroid field
+        }
+        stats.tickFinished(tickStart, bullets.size(), asteroids.size(), collisions.size(), score, lives, waveDirector.getWaveNumber());
+
+        if (shipDestroyed) {
+            endGame(); // End game if lives reach zero
+        }
+    }
+
+    /**
+     * Integrate phase: applies user input and moves the spaceship, bullets, and asteroids.
+     */
+    private void integrate() {
         spaceship.move(); // Move the spaceship based on user input
 
         // Handle spaceship movement based on key states
@@ -168,78 +253,151 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
         if (spaceKeyPressed) {
             double angle = spaceship.getAngle(); // Get spaceship's current angle
             bullets.add(new Bullet(spaceship.getX(), spaceship.getY(), angle)); // Create new bullet
+            sound.play(SoundEngine.Effect.FIRE); // Play fire sound
         }
 
-        // Move and check bullets
-        for (Bullet bullet : new ArrayList<>(bullets)) {
+        // Move bullets and drop those that left the screen
+        for (Bullet bullet : bullets) {
             bullet.move(); // Move each bullet
-            if (!bullet.isActive()) {
-                bullets.remove(bullet); // Remove inactive bullets
-            }
         }
+        bullets.removeIf(bullet -> !bullet.isActive()); // Remove inactive bullets
 
         // Move asteroids
-        for (Asteroid asteroid : new ArrayList<>(asteroids)) {
+        for (Asteroid asteroid : asteroids) {
             asteroid.move(); // Move each asteroid
         }
-
-        // Check collisions between bullets, asteroids, and the spaceship
-        checkCollisions();
-
-        // Ensure there are always 5 asteroids in the game
-        while (asteroids.size() < 5) {
-            asteroids.add(new Asteroid()); // Add new asteroids if needed
-        }
     }
 
     /**
-     * Checks for collisions between bullets, asteroids, and the spaceship.
+     * Detect phase: records collisions between bullets, asteroids, and the spaceship into the
+     * event buffer. The world is not changed; an asteroid claimed by one collision is skipped
+     * by later checks, exactly as if it had already been removed.
      */
-    private void checkCollisions() {
-        Rectangle shipBounds = new Rectangle(spaceship.getX() - 10, spaceship.getY() - 10, 20, 20); // Create bounds for the spaceship
-
-        // Check bullet-asteroid collisions
-        for (Bullet bullet : new ArrayList<>(bullets)) {
-            Rectangle bulletBounds = new Rectangle(bullet.getX() - 2, bullet.getY() - 2, 4, 4); // Create bounds for each bullet
-            for (Asteroid asteroid : new ArrayList<>(asteroids)) {
-                Rectangle asteroidBounds = new Rectangle(asteroid.getX() - asteroid.getSize() / 2, asteroid.getY() - asteroid.getSize() / 2, asteroid.getSize(), asteroid.getSize()); // Create bounds for each asteroid
+    private void detectCollisions() {
+        collisions.clear(); // Reuse the buffer from the previous tick
+        if (asteroidClaimed.length < asteroids.size()) {
+            asteroidClaimed = new boolean[asteroids.size() * 2]; // Grow the scratch flags
+        }
+        Arrays.fill(asteroidClaimed, 0, asteroids.size(), false);
+
+        // Check bullet-asteroid collisions, each bullet hits at most one asteroid
+        for (int b = 0; b < bullets.size(); b++) {
+            Bullet bullet = bullets.get(b);
+            bulletBounds.setBounds(bullet.getX() - 2, bullet.getY() - 2, 4, 4); // Bounds of the bullet
+            for (int a = 0; a < asteroids.size(); a++) {
+                if (asteroidClaimed[a]) {
+                    continue; // Already destroyed by an earlier bullet
+                }
+                Asteroid asteroid = asteroids.get(a);
+                setAsteroidBounds(asteroid);
                 if (bulletBounds.intersects(asteroidBounds)) {
-                    bullets.remove(bullet); // Remove bullet if it hits an asteroid
-                    score += 10; // Increase score
-                    asteroids.remove(asteroid); // Remove asteroid
+                    asteroidClaimed[a] = true;
+                    collisions.add(CollisionBuffer.BULLET_ASTEROID, b, a, asteroid);
                     break; // Exit loop to prevent multiple collisions
                 }
             }
         }
 
-        // Check ship-asteroid collisions
-        for (Asteroid asteroid : new ArrayList<>(asteroids)) {
-            Rectangle asteroidBounds = new Rectangle(asteroid.getX() - asteroid.getSize() / 2, asteroid.getY() - asteroid.getSize() / 2, asteroid.getSize(), asteroid.getSize()); // Create bounds for each asteroid
+        // Check ship-asteroid collisions against the asteroids that survived
+        shipBounds.setBounds(spaceship.getX() - 10, spaceship.getY() - 10, 20, 20); // Bounds of the spaceship
+        for (int a = 0; a < asteroids.size(); a++) {
+            if (asteroidClaimed[a]) {
+                continue;
+            }
+            Asteroid asteroid = asteroids.get(a);
+            setAsteroidBounds(asteroid);
             if (shipBounds.intersects(asteroidBounds)) {
-                // Handle ship collision
-                lives--; // Decrease lives
-                if (lives <= 0) {
-                    endGame(); // End game if lives reach zero
-                } else {
-                    spaceship = new Spaceship(WIDTH / 2, HEIGHT / 2); // Reset spaceship position
-                    spaceship.reset(); // Reset spaceship speed
-                    asteroids.clear(); // Clear existing asteroids
-                    spawnInitialAsteroids(); // Spawn new asteroids
-                }
-                break; // Exit loop after collision
+                collisions.add(CollisionBuffer.SHIP_ASTEROID, -1, a, asteroid);
+                break; // Only one hit per tick
             }
         }
     }
 
+    /**
+     * Sets the reusable asteroid bounds to the given asteroid.
+     *
+     * @param asteroid the asteroid whose bounds are needed
+     */
+    private void setAsteroidBounds(Asteroid asteroid) {
+        int size = asteroid.getSize();
+        asteroidBounds.setBounds(asteroid.getX() - size / 2, asteroid.getY() - size / 2, size, size);
+    }
+
+    /**
+     * Resolve phase: applies the detected collisions in buffer order, updating score and lives
+     * and removing destroyed bullets and asteroids.
+     *
+     * @return true if the spaceship lost its last life
+     */
+    private boolean resolveCollisions() {
+        boolean shipHit = false;
+        for (int i = 0; i < collisions.size(); i++) {
+            if (collisions.getType(i) == CollisionBuffer.BULLET_ASTEROID) {
+                bullets.set(collisions.getBullet(i), null); // Mark bullet for removal
+                asteroids.set(collisions.getAsteroid(i), null); // Mark asteroid for removal
+                score += 10; // Increase score
+            } else {
+                shipHit = true;
+            }
+        }
+        bullets.removeIf(Objects::isNull); // Remove marked bullets, keeping order
+        asteroids.removeIf(Objects::isNull); // Remove marked asteroids, keeping order
+
+        if (shipHit) {
+            lives--; // Decrease lives
+            if (lives <= 0) {
+                return true; // Game over, handled after listeners ran
+            }
+            spaceship = new Spaceship(WIDTH / 2, HEIGHT / 2); // Reset spaceship position
+            spaceship.reset(); // Reset spaceship speed
+            asteroids.clear(); // Clear existing asteroids
+            waveDirector.restartWave(); // The spawn phase starts the current wave over
+        }
+        return false;
+    }
+
+    /**
+     * Spawn phase: lets the wave director add the next batch of asteroids.
+     */
+    private void spawn() {
+        waveDirector.update(asteroids, spaceship); // Spawn within the per-tick budget
+    }
+
+    /**
+     * Plays the sounds for a tick's collisions.
+     *
+     * @param events the collision events of the tick
+     */
+    private void playCollisionSounds(CollisionBuffer events) {
+        for (int i = 0; i < events.size(); i++) {
+            if (events.getType(i) == CollisionBuffer.BULLET_ASTEROID) {
+                sound.play(SoundEngine.Effect.ASTEROID_DESTROYED); // Play explosion sound
+            } else {
+                sound.play(SoundEngine.Effect.SHIP_HIT); // Play ship hit sound
+            }
+        }
+    }
+
+    /**
+     * Registers a subsystem that receives each tick's collision events.
+     *
+     * @param listener the listener to add
+     */
+    public void addCollisionListener(CollisionBuffer.CollisionListener listener) {
+        collisionListeners.add(listener);
+    }
+
     /**
      * Ends the game, stops the timer, and shows the game over screen.
      */
     private void endGame() {
         gameRunning = false; // Stop the game
         timer.stop(); // Stop the game timer
+        stats.gameEnded(score, waveDirector.getWaveNumber()); // Record the game end
         removeKeyListener(this); // Remove key listener
         mainFrame.remove(this); // Remove game panel from the main frame
-        mainFrame.add(new GameOverPanel(this, score)); // Add game over panel to the main frame
+        gameOverPanel = new GameOverPanel(this, score); // Create game over panel with the final score
+        mainFrame.add(gameOverPanel); // Add game over panel to the main frame
         mainFrame.revalidate(); // Revalidate the main frame
         mainFrame.repaint(); // Repaint the main frame
     }
@@ -249,14 +407,15 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
      */
     private void restart() {
         gameRunning = true; // Start the game
+        paused = false; // Start unpaused
         lives = 3; // Reset lives
         score = 0; // Reset score
         spaceship = new Spaceship(WIDTH / 2, HEIGHT / 2); // Reinitialize spaceship
         spaceship.reset(); // Reset spaceship speed
         bullets.clear(); // Clear existing bullets
-        asteroids.clear(); // Clear existing asteroids
         spawnInitialAsteroids(); // Spawn new asteroids
         timer.restart(); // Restart the game timer
+        stats.gameStarted(lives); // Record the game start
 
         // Reset key states
         upKeyPressed = false;
@@ -273,6 +432,40 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
         mainFrame.repaint(); // Repaint the main frame
     }
 
+    /**
+     * Pauses the running game. The timer is stopped, so nothing is simulated or repainted
+     * until the game is resumed.
+     */
+    private void pause() {
+        if (!gameRunning || paused) {
+            return; // Nothing to pause
+        }
+        paused = true;
+        timer.stop(); // Stop ticking and repainting
+
+        // Keys released while the window is unfocused are never reported, so forget them
+        upKeyPressed = false;
+        leftKeyPressed = false;
+        rightKeyPressed = false;
+        spaceKeyPressed = false;
+
+        stats.gamePaused(); // Record the pause
+        repaint(); // Draw the pause overlay once
+    }
+
+    /**
+     * Resumes a paused game. The simulation advances in fixed ticks, so it continues exactly
+     * where it stopped no matter how long the pause lasted.
+     */
+    private void resume() {
+        if (!gameRunning || !paused) {
+            return; // Nothing to resume
+        }
+        paused = false;
+        stats.gameResumed(); // Record the resume
+        timer.restart(); // First tick comes one delay from now
+    }
+
     @Override
     public void actionPerformed(ActionEvent e) {
         updateGame(); // Update the game state
@@ -294,6 +487,14 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
         if (keyCode == KeyEvent.VK_SPACE) {
             spaceKeyPressed = true; // Set flag for space key
         }
+        if (keyCode == KeyEvent.VK_P && !pKeyPressed) {
+            pKeyPressed = true; // Ignore repeats until the key is released
+            if (paused) {
+                resume(); // Resume if paused
+            } else {
+                pause(); // Pause if running
+            }
+        }
     }
 
     @Override
@@ -311,6 +512,9 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, St
         if (keyCode == KeyEvent.VK_SPACE) {
             spaceKeyPressed = false; // Reset flag for space key
         }
+        if (keyCode == KeyEvent.VK_P) {
+            pKeyPressed = false; // Allow the next press to toggle pause
+        }
     }
 
     @Override
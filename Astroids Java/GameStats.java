@@ -0,0 +1,327 @@
+import java.awt.EventQueue;
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.EventType;
+
+/**
+ * GameStats collects live telemetry from the game loop. It is exposed over JMX as a standard
+ * MBean and emits the JFR events in GameEvents.
+ *
+ * All recording methods are called on the game thread, which is the Swing event dispatch thread.
+ * Counters are published through volatile fields so JMX clients can read them from any thread
+ * without locking, and a reset requested over JMX is handed to the event dispatch thread, so it
+ * takes effect right away whether the game is running, paused or on a menu screen.
+ */
+public class GameStats implements GameStatsMBean {
+
+    public static final String OBJECT_NAME = "Asteroids:type=GameStats"; // JMX name of the MBean
+
+    private static final int COLLISION_BURST = 5; // Collisions in one tick that count as a burst
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    // Checked once per tick, so a disabled tick event costs a single flag read
+    private static final EventType TICK_EVENT_TYPE = EventType.getEventType(GameEvents.TickEvent.class);
+
+    private final long slowFrameNanos; // Frame interval or tick time above which a frame is slow
+
+    // Published to JMX readers
+    private volatile double ticksPerSecond;
+    private volatile long totalTicks;
+    private volatile long totalTickNanos;
+    private volatile long maxTickNanos;
+    private volatile long totalCollisions;
+    private volatile long slowFrames;
+    private volatile int bulletCount;
+    private volatile int asteroidCount;
+    private volatile int lastTickCollisions;
+    private volatile int score;
+    private volatile int lives;
+    private volatile int wave;
+    private volatile boolean gameRunning;
+    private volatile boolean paused;
+
+    // Game thread only
+    private GameEvents.TickEvent tickEvent; // Event of the tick in progress, or null when not recording
+    private long lastTickStart; // Start of the previous tick, 0 if there is none to compare with
+    private long windowStart; // Start of the current ticks-per-second window
+    private long windowTicks; // Ticks completed in the current window
+    private long gameStart; // Start of the current game
+    private long pauseStart; // Start of the current pause
+    private long pausedNanos; // Time spent paused in the current game
+    private long gameTicks; // Ticks played in the current game
+
+    /**
+     * Constructs a GameStats.
+     *
+     * @param tickDelayNanos the intended time between ticks
+     */
+    public GameStats(long tickDelayNanos) {
+        this.slowFrameNanos = 2 * tickDelayNanos; // A frame is slow when it takes twice the delay
+    }
+
+    /**
+     * Creates a GameStats and registers it with the platform MBean server.
+     * Registration failures are reported but do not stop the game.
+     *
+     * @param tickDelayNanos the intended time between ticks
+     * @return the new GameStats
+     */
+    public static GameStats register(long tickDelayNanos) {
+        GameStats stats = new GameStats(tickDelayNanos);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(stats, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            System.err.println("Game statistics not available over JMX: " + e.getMessage());
+        }
+        return stats;
+    }
+
+    /**
+     * Marks the start of a tick.
+     *
+     * @return the start time to pass to tickFinished
+     */
+    public long tickStarted() {
+        if (TICK_EVENT_TYPE.isEnabled()) {
+            tickEvent = new GameEvents.TickEvent();
+            tickEvent.begin();
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a tick and records its results.
+     *
+     * @param start the value returned by tickStarted
+     * @param bullets the bullets in play
+     * @param asteroids the asteroids in play
+     * @param collisions the collisions resolved during the tick
+     * @param score the current score
+     * @param lives the remaining lives
+     * @param wave the current wave
+     */
+    public void tickFinished(long start, int bullets, int asteroids, int collisions, int score, int lives, int wave) {
+        long end = System.nanoTime();
+        long tickTime = end - start;
+
+        long tick = totalTicks + 1;
+        totalTicks = tick;
+        totalTickNanos += tickTime;
+        if (tickTime > maxTickNanos) {
+            maxTickNanos = tickTime;
+        }
+        totalCollisions += collisions;
+        lastTickCollisions = collisions;
+        bulletCount = bullets;
+        asteroidCount = asteroids;
+        this.score = score;
+        this.lives = lives;
+        this.wave = wave;
+        gameTicks++;
+
+        // Ticks per second over windows of one second
+        windowTicks++;
+        if (end - windowStart >= NANOS_PER_SECOND) {
+            ticksPerSecond = windowTicks * (double) NANOS_PER_SECOND / (end - windowStart);
+            windowStart = end;
+            windowTicks = 0;
+        }
+
+        if (tickEvent != null) {
+            tickEvent.tick = tick;
+            tickEvent.bullets = bullets;
+            tickEvent.asteroids = asteroids;
+            tickEvent.collisions = collisions;
+            tickEvent.commit();
+            tickEvent = null;
+        }
+
+        long interval = lastTickStart == 0 ? 0 : start - lastTickStart;
+        lastTickStart = start;
+        if (interval > slowFrameNanos || tickTime > slowFrameNanos) {
+            slowFrames++;
+            GameEvents.SlowFrameEvent event = new GameEvents.SlowFrameEvent();
+            if (event.isEnabled()) {
+                event.tick = tick;
+                event.interval = interval;
+                event.tickTime = tickTime;
+                event.commit();
+            }
+        }
+
+        if (collisions >= COLLISION_BURST) {
+            GameEvents.CollisionBurstEvent event = new GameEvents.CollisionBurstEvent();
+            if (event.isEnabled()) {
+                event.tick = tick;
+                event.collisions = collisions;
+                event.asteroids = asteroids;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Records the start of a game.
+     *
+     * @param lives the lives the player starts with
+     */
+    public void gameStarted(int lives) {
+        gameRunning = true;
+        paused = false;
+        this.lives = lives;
+        score = 0;
+        wave = 1; // Every game starts at the first wave
+
+        // Clear the previous game's gauges until the first tick reports new ones
+        bulletCount = 0;
+        asteroidCount = 0;
+        lastTickCollisions = 0;
+        gameStart = System.nanoTime();
+        pausedNanos = 0;
+        gameTicks = 0;
+        lastTickStart = 0; // Time spent in menus is not a slow frame
+        windowStart = gameStart;
+        windowTicks = 0;
+
+        GameEvents.GameStartEvent event = new GameEvents.GameStartEvent();
+        if (event.isEnabled()) {
+            event.lives = lives;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records that the game was paused.
+     */
+    public void gamePaused() {
+        paused = true;
+        ticksPerSecond = 0;
+        pauseStart = System.nanoTime();
+    }
+
+    /**
+     * Records that the game was resumed. The pause is not counted as a slow frame.
+     */
+    public void gameResumed() {
+        paused = false;
+        lastTickStart = 0;
+        windowStart = System.nanoTime();
+        windowTicks = 0;
+        pausedNanos += windowStart - pauseStart;
+    }
+
+    /**
+     * Records the end of a game. The recorded duration leaves out the time spent paused.
+     *
+     * @param score the final score
+     * @param wave the wave that was reached
+     */
+    public void gameEnded(int score, int wave) {
+        long end = System.nanoTime();
+        if (paused) {
+            pausedNanos += end - pauseStart; // Ended without being resumed
+            paused = false;
+        }
+        gameRunning = false;
+        this.score = score;
+        this.wave = wave;
+        ticksPerSecond = 0;
+
+        GameEvents.GameEndEvent event = new GameEvents.GameEndEvent();
+        if (event.isEnabled()) {
+            event.score = score;
+            event.wave = wave;
+            event.ticks = gameTicks;
+            event.gameDuration = end - gameStart - pausedNanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Zeroes the counters. Only called on the game thread.
+     */
+    private void clearCounters() {
+        totalTicks = 0;
+        totalTickNanos = 0;
+        maxTickNanos = 0;
+        totalCollisions = 0;
+        slowFrames = 0;
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    @Override
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    @Override
+    public double getAverageTickTimeMicros() {
+        long ticks = totalTicks;
+        return ticks == 0 ? 0 : totalTickNanos / 1000.0 / ticks;
+    }
+
+    @Override
+    public double getMaxTickTimeMicros() {
+        return maxTickNanos / 1000.0;
+    }
+
+    @Override
+    public int getBulletCount() {
+        return bulletCount;
+    }
+
+    @Override
+    public int getAsteroidCount() {
+        return asteroidCount;
+    }
+
+    @Override
+    public int getLastTickCollisions() {
+        return lastTickCollisions;
+    }
+
+    @Override
+    public long getTotalCollisions() {
+        return totalCollisions;
+    }
+
+    @Override
+    public long getSlowFrames() {
+        return slowFrames;
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public int getLives() {
+        return lives;
+    }
+
+    @Override
+    public int getWave() {
+        return wave;
+    }
+
+    @Override
+    public boolean isGameRunning() {
+        return gameRunning;
+    }
+
+    @Override
+    public boolean isPaused() {
+        return paused;
+    }
+
+    @Override
+    public void resetStatistics() {
+        EventQueue.invokeLater(this::clearCounters); // Counters are only written on the game thread
+    }
+}
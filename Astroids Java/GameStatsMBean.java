@@ -0,0 +1,80 @@
+/**
+ * Management interface for live game telemetry, registered as "Asteroids:type=GameStats".
+ */
+public interface GameStatsMBean {
+
+    /**
+     * @return ticks completed during the last full second
+     */
+    double getTicksPerSecond();
+
+    /**
+     * @return ticks completed since the statistics were last reset
+     */
+    long getTotalTicks();
+
+    /**
+     * @return average time spent in one tick, in microseconds
+     */
+    double getAverageTickTimeMicros();
+
+    /**
+     * @return longest time spent in one tick, in microseconds
+     */
+    double getMaxTickTimeMicros();
+
+    /**
+     * @return bullets in play after the last tick
+     */
+    int getBulletCount();
+
+    /**
+     * @return asteroids in play after the last tick
+     */
+    int getAsteroidCount();
+
+    /**
+     * @return collisions resolved in the last tick
+     */
+    int getLastTickCollisions();
+
+    /**
+     * @return collisions resolved since the statistics were last reset
+     */
+    long getTotalCollisions();
+
+    /**
+     * @return slow frames seen since the statistics were last reset
+     */
+    long getSlowFrames();
+
+    /**
+     * @return the current score
+     */
+    int getScore();
+
+    /**
+     * @return the remaining lives
+     */
+    int getLives();
+
+    /**
+     * @return the current wave
+     */
+    int getWave();
+
+    /**
+     * @return true while a game is being played
+     */
+    boolean isGameRunning();
+
+    /**
+     * @return true while the running game is paused
+     */
+    boolean isPaused();
+
+    /**
+     * Resets the tick, timing, collision and slow frame counters.
+     */
+    void resetStatistics();
+}
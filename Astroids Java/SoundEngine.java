@@ -0,0 +1,446 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.*;
+
+/**
+ * SoundEngine is a small software mixer for the game's sound effects.
+ * All effects are decoded to 16-bit PCM once when the engine is created, and a dedicated
+ * mixer thread sums the active voices into a short SourceDataLine buffer. The game thread
+ * only posts triggers through a lock-free queue, so playing a sound never blocks a frame.
+ */
+public class SoundEngine {
+
+    /**
+     * The sound effects the game can trigger.
+     * A voice playing an effect can only be stolen by an effect of the same or higher priority,
+     * and each effect is limited to a number of live voices so rapid triggers cannot fill the pool.
+     */
+    public enum Effect {
+        FIRE("fire.wav", 0, 3), // Triggered every tick while space is held
+        ASTEROID_DESTROYED("asteroid_destroyed.wav", 1, 3),
+        SHIP_HIT("ship_hit.wav", 2, 2);
+
+        private final String resource; // Optional WAV resource that overrides the built-in sound
+        private final int priority; // Higher priorities may steal voices from lower ones
+        private final int maxVoices; // Most voices this effect may hold at once
+
+        Effect(String resource, int priority, int maxVoices) {
+            this.resource = resource;
+            this.priority = priority;
+            this.maxVoices = maxVoices;
+        }
+    }
+
+    // Output format: 22.05 kHz, 16-bit signed, mono, little-endian
+    public static final float SAMPLE_RATE = 22050f;
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+
+    private static final int FRAMES_PER_CHUNK = 256; // Frames mixed per pass (about 12 ms)
+    private static final int LINE_CHUNKS = 3; // Chunks held by the output line (about 35 ms)
+    private static final int MAX_VOICES = 8; // Size of the fixed voice pool
+    private static final int QUEUE_SIZE = 64; // Capacity of the trigger queue (power of two)
+    private static final Effect[] EFFECTS = Effect.values(); // Effects by ordinal
+
+    // Decoded effects, indexed by Effect.ordinal()
+    private final short[][] pcm;
+    private final float[] gain;
+
+    // Voice pool: which effect each voice plays (-1 when idle), its read position, and when it started
+    private final int[] voiceEffect = new int[MAX_VOICES];
+    private final int[] voicePosition = new int[MAX_VOICES];
+    private final long[] voiceStarted = new long[MAX_VOICES];
+    private long voiceCounter; // Increases with every started voice, used to find the oldest one
+
+    // Single-producer, single-consumer ring of effect ordinals posted by the game thread
+    private final int[] queue = new int[QUEUE_SIZE];
+    private final AtomicInteger queueHead = new AtomicInteger(); // Next slot the mixer reads
+    private final AtomicInteger queueTail = new AtomicInteger(); // Next slot the game writes
+
+    // Mixing buffers, reused for every chunk
+    private final int[] mixBuffer = new int[FRAMES_PER_CHUNK];
+    private final byte[] outBuffer = new byte[FRAMES_PER_CHUNK * 2];
+
+    private final SourceDataLine line; // Real-time output, or null when offline or silent
+    private final ByteArrayOutputStream capture; // Offline output, or null in real-time mode
+    private final File captureFile; // Destination of the offline mix
+    private Thread mixerThread;
+    private volatile boolean running;
+    private volatile boolean mixerIdle; // True while the mixer sleeps waiting for a trigger
+
+    /**
+     * Creates an engine and decodes all effects.
+     *
+     * @param line the line to play to, or null for no real-time output
+     * @param captureFile the WAV file to mix into, or null for no offline output
+     */
+    private SoundEngine(SourceDataLine line, File captureFile) {
+        this.line = line;
+        this.captureFile = captureFile;
+        this.capture = captureFile != null ? new ByteArrayOutputStream() : null;
+
+        Effect[] effects = Effect.values();
+        pcm = new short[effects.length][];
+        gain = new float[effects.length];
+        for (Effect effect : effects) {
+            pcm[effect.ordinal()] = decode(effect);
+        }
+        gain[Effect.FIRE.ordinal()] = 0.35f; // Fire plays every tick while space is held, keep it quiet
+        gain[Effect.ASTEROID_DESTROYED.ordinal()] = 0.6f;
+        gain[Effect.SHIP_HIT.ordinal()] = 0.8f;
+
+        for (int i = 0; i < MAX_VOICES; i++) {
+            voiceEffect[i] = -1; // All voices start idle
+        }
+    }
+
+    /**
+     * Opens the default audio device and starts the mixer thread.
+     * If no device is available the returned engine is silent but still safe to use.
+     *
+     * @return a running sound engine
+     */
+    public static SoundEngine open() {
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, FRAMES_PER_CHUNK * 2 * LINE_CHUNKS);
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            System.err.println("Sound disabled: " + e.getMessage());
+            return new SoundEngine(null, null);
+        }
+        return start(line);
+    }
+
+    /**
+     * Starts the mixer thread on an opened line. Package-private so tools can run the real
+     * mixer against a line of their own when no audio device is available.
+     *
+     * @param line an opened line in the engine's output format
+     * @return a running sound engine
+     */
+    static SoundEngine start(SourceDataLine line) {
+        SoundEngine engine = new SoundEngine(line, null);
+        engine.running = true;
+        engine.mixerThread = new Thread(engine::runMixer, "SoundEngine-Mixer");
+        engine.mixerThread.setDaemon(true); // Never keep the JVM alive for sound
+        engine.mixerThread.setPriority(Thread.MAX_PRIORITY);
+        line.start();
+        engine.mixerThread.start();
+        return engine;
+    }
+
+    /**
+     * Creates an engine that mixes into a WAV file instead of an audio device.
+     * Nothing is mixed until {@link #render(int)} is called, which makes the output deterministic.
+     *
+     * @param wavFile the file written when the engine is closed
+     * @return an offline sound engine
+     */
+    public static SoundEngine offline(File wavFile) {
+        return new SoundEngine(null, wavFile);
+    }
+
+    /**
+     * Posts an effect to the mixer. Must only be called from the game thread.
+     * The trigger is dropped if the queue is full.
+     *
+     * @param effect the effect to play
+     */
+    public void play(Effect effect) {
+        if (line == null && capture == null) {
+            return; // Silent engine
+        }
+        int tail = queueTail.get();
+        if (tail - queueHead.get() >= QUEUE_SIZE) {
+            return; // Queue full, the mixer is behind
+        }
+        queue[tail & (QUEUE_SIZE - 1)] = effect.ordinal();
+        queueTail.set(tail + 1); // Publish the slot before checking whether the mixer sleeps
+        if (mixerIdle) {
+            LockSupport.unpark(mixerThread); // Wake the mixer
+        }
+    }
+
+    /**
+     * Mixes the given number of frames into the offline capture.
+     * Only valid for engines created with {@link #offline(File)}.
+     *
+     * @param frames the number of frames to mix
+     */
+    public void render(int frames) {
+        if (capture == null) {
+            throw new IllegalStateException("render() is only available in offline mode");
+        }
+        while (frames > 0) {
+            int chunk = Math.min(frames, FRAMES_PER_CHUNK);
+            mixChunk(chunk);
+            capture.write(outBuffer, 0, chunk * 2);
+            frames -= chunk;
+        }
+    }
+
+    /**
+     * Stops the mixer and releases the audio device, or writes the WAV file in offline mode.
+     *
+     * @throws IOException if the offline WAV file cannot be written
+     */
+    public void close() throws IOException {
+        running = false;
+        if (mixerThread != null) {
+            LockSupport.unpark(mixerThread); // Wake the mixer so it can exit
+            try {
+                mixerThread.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (line != null) {
+            line.stop();
+            line.close();
+        }
+        if (capture != null) {
+            byte[] data = capture.toByteArray();
+            AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(data), FORMAT, data.length / 2);
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, captureFile);
+        }
+    }
+
+    /**
+     * Body of the mixer thread. The blocking write to the line paces the loop.
+     * When nothing is playing the thread sleeps until the next trigger instead of writing silence,
+     * so a paused or idle game costs no CPU for sound.
+     */
+    private void runMixer() {
+        while (running) {
+            if (!hasWork()) {
+                mixerIdle = true;
+                if (!hasWork() && running) { // Check again now that play() can see the idle flag
+                    LockSupport.park(this);
+                }
+                mixerIdle = false;
+                continue;
+            }
+            mixChunk(FRAMES_PER_CHUNK);
+            line.write(outBuffer, 0, FRAMES_PER_CHUNK * 2);
+        }
+    }
+
+    /**
+     * Checks whether there are queued triggers or active voices.
+     *
+     * @return true if the mixer has something to mix
+     */
+    private boolean hasWork() {
+        if (queueHead.get() != queueTail.get()) {
+            return true;
+        }
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voiceEffect[v] >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts voices for all queued triggers, then mixes the active voices into the output buffer.
+     *
+     * @param frames the number of frames to mix, at most FRAMES_PER_CHUNK
+     */
+    private void mixChunk(int frames) {
+        // Drain the trigger queue
+        int head = queueHead.get();
+        int tail = queueTail.get();
+        while (head != tail) {
+            startVoice(queue[head & (QUEUE_SIZE - 1)]);
+            head++;
+        }
+        queueHead.lazySet(head);
+
+        // Sum all active voices
+        Arrays.fill(mixBuffer, 0, frames, 0);
+        for (int v = 0; v < MAX_VOICES; v++) {
+            int effect = voiceEffect[v];
+            if (effect < 0) {
+                continue; // Idle voice
+            }
+            short[] samples = pcm[effect];
+            float g = gain[effect];
+            int pos = voicePosition[v];
+            int count = Math.min(frames, samples.length - pos);
+            for (int i = 0; i < count; i++) {
+                mixBuffer[i] += (int) (samples[pos + i] * g);
+            }
+            pos += count;
+            if (pos >= samples.length) {
+                voiceEffect[v] = -1; // Effect finished, free the voice
+            } else {
+                voicePosition[v] = pos;
+            }
+        }
+
+        // Clamp to 16 bits and convert to little-endian bytes
+        for (int i = 0; i < frames; i++) {
+            int s = mixBuffer[i];
+            if (s > Short.MAX_VALUE) s = Short.MAX_VALUE;
+            if (s < Short.MIN_VALUE) s = Short.MIN_VALUE;
+            outBuffer[2 * i] = (byte) s;
+            outBuffer[2 * i + 1] = (byte) (s >> 8);
+        }
+    }
+
+    /**
+     * Starts an effect on a voice. If the effect already holds its maximum number of voices,
+     * its oldest voice is re-triggered. Otherwise a free voice is used, or the voice with the
+     * lowest priority (oldest first) is stolen, but never from an effect of higher priority.
+     * If every voice is busy with more important effects the trigger is dropped.
+     *
+     * @param effect the ordinal of the effect to start
+     */
+    private void startVoice(int effect) {
+        int priority = EFFECTS[effect].priority;
+        int sameCount = 0; // Live voices already playing this effect
+        int oldestSame = -1; // Oldest of those voices
+        int free = -1; // First idle voice
+        int victim = -1; // Best voice to steal
+        for (int v = 0; v < MAX_VOICES; v++) {
+            int playing = voiceEffect[v];
+            if (playing < 0) {
+                if (free < 0) free = v;
+                continue;
+            }
+            if (playing == effect) {
+                sameCount++;
+                if (oldestSame < 0 || voiceStarted[v] < voiceStarted[oldestSame]) {
+                    oldestSame = v;
+                }
+            }
+            int playingPriority = EFFECTS[playing].priority;
+            if (playingPriority > priority) {
+                continue; // Never steal from a more important effect
+            }
+            if (victim < 0 || playingPriority < EFFECTS[voiceEffect[victim]].priority
+                    || (playingPriority == EFFECTS[voiceEffect[victim]].priority && voiceStarted[v] < voiceStarted[victim])) {
+                victim = v; // Lowest priority, then oldest
+            }
+        }
+
+        int target;
+        if (sameCount >= EFFECTS[effect].maxVoices) {
+            target = oldestSame; // Re-trigger instead of taking another voice
+        } else if (free >= 0) {
+            target = free;
+        } else if (victim >= 0) {
+            target = victim;
+        } else {
+            return; // Every voice plays something more important
+        }
+        voiceEffect[target] = effect;
+        voicePosition[target] = 0;
+        voiceStarted[target] = ++voiceCounter;
+    }
+
+    /**
+     * Decodes an effect to PCM in the output format. A WAV resource with the effect's name
+     * is used if present, otherwise the effect is synthesized.
+     *
+     * @param effect the effect to decode
+     * @return the effect's samples
+     */
+    private static short[] decode(Effect effect) {
+        InputStream resource = SoundEngine.class.getResourceAsStream("/" + effect.resource);
+        if (resource != null) {
+            try (AudioInputStream source = AudioSystem.getAudioInputStream(new BufferedInputStream(resource));
+                 AudioInputStream converted = AudioSystem.getAudioInputStream(FORMAT, source)) {
+                byte[] bytes = converted.readAllBytes();
+                short[] samples = new short[bytes.length / 2];
+                for (int i = 0; i < samples.length; i++) {
+                    samples[i] = (short) ((bytes[2 * i] & 0xff) | (bytes[2 * i + 1] << 8));
+                }
+                return samples;
+            } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+                System.err.println("Could not decode " + effect.resource + ", using built-in sound: " + e.getMessage());
+            }
+        }
+        return synthesize(effect);
+    }
+
+    /**
+     * Synthesizes a simple retro sound for an effect.
+     *
+     * @param effect the effect to synthesize
+     * @return the effect's samples
+     */
+    private static short[] synthesize(Effect effect) {
+        Random rand = new Random(effect.ordinal()); // Fixed seed so sounds never change
+        switch (effect) {
+            case FIRE: {
+                // Short downward square-wave chirp
+                short[] samples = new short[(int) (SAMPLE_RATE * 0.06)];
+                double phase = 0;
+                for (int i = 0; i < samples.length; i++) {
+                    double t = (double) i / samples.length;
+                    phase += (1400 - 900 * t) / SAMPLE_RATE;
+                    double square = (phase % 1.0) < 0.5 ? 1 : -1;
+                    samples[i] = (short) (square * (1 - t) * 12000);
+                }
+                return samples;
+            }
+            case ASTEROID_DESTROYED: {
+                // Low-passed noise burst
+                short[] samples = new short[(int) (SAMPLE_RATE * 0.25)];
+                double filtered = 0;
+                for (int i = 0; i < samples.length; i++) {
+                    double t = (double) i / samples.length;
+                    filtered += (rand.nextDouble() * 2 - 1 - filtered) * 0.2;
+                    samples[i] = (short) (filtered * (1 - t) * (1 - t) * 30000);
+                }
+                return samples;
+            }
+            case SHIP_HIT:
+            default: {
+                // Falling tone mixed with rumbling noise
+                short[] samples = new short[(int) (SAMPLE_RATE * 0.6)];
+                double phase = 0;
+                double filtered = 0;
+                for (int i = 0; i < samples.length; i++) {
+                    double t = (double) i / samples.length;
+                    phase += (220 - 170 * t) / SAMPLE_RATE;
+                    filtered += (rand.nextDouble() * 2 - 1 - filtered) * 0.05;
+                    double s = Math.sin(2 * Math.PI * phase) * 0.6 + filtered * 2.0;
+                    samples[i] = (short) (Math.max(-1, Math.min(1, s)) * (1 - t) * 20000);
+                }
+                return samples;
+            }
+        }
+    }
+
+    /**
+     * Mixes a short demo sequence of all effects to a WAV file, for checking the mixer
+     * on machines without an audio device.
+     *
+     * @param args the output file name (defaults to sound_test.wav)
+     * @throws IOException if the WAV file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        File out = new File(args.length > 0 ? args[0] : "sound_test.wav");
+        SoundEngine engine = offline(out);
+        int framesPerTick = (int) (SAMPLE_RATE / 100); // One game tick at the 10 ms timer delay
+        for (int tick = 0; tick < 200; tick++) {
+            if (tick < 60) engine.play(Effect.FIRE); // Hold fire for 0.6 s to exercise voice stealing
+            if (tick == 30 || tick == 45) engine.play(Effect.ASTEROID_DESTROYED);
+            if (tick == 100) engine.play(Effect.SHIP_HIT);
+            engine.render(framesPerTick);
+        }
+        engine.close();
+        System.out.println("Wrote " + out.getAbsolutePath());
+    }
+}
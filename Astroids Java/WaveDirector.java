@@ -0,0 +1,259 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * WaveDirector decides when and where asteroids spawn.
+ * The game plays through escalating waves read from a data file. Each tick the director spawns
+ * at most one batch of asteroids within a fixed time budget, placing them at precomputed offsets
+ * around the spaceship so no position ever has to be retried.
+ */
+public class WaveDirector {
+
+    public static final String DEFAULT_RESOURCE = "/waves.txt"; // Wave definitions on the classpath
+
+    private static final long SPAWN_BUDGET_NANOS = 500_000; // Spawn time allowed per tick (0.5 ms)
+
+    // Candidate spawn offsets around the spaceship: 16 directions on 4 rings, 64 in all so the
+    // candidates used by one batch fit in the bits of a long
+    private static final int CANDIDATE_DIRECTIONS = 16;
+    private static final int[] CANDIDATE_RADII = {150, 220, 290, 360};
+    static final int JITTER = 10; // Random spread around each candidate, in pixels
+    static final int[] CANDIDATE_DX = new int[CANDIDATE_DIRECTIONS * CANDIDATE_RADII.length];
+    static final int[] CANDIDATE_DY = new int[CANDIDATE_DIRECTIONS * CANDIDATE_RADII.length];
+    static final long ALL_CANDIDATES = -1L; // Every bit set, all 64 candidates used
+
+    static {
+        int i = 0;
+        for (int radius : CANDIDATE_RADII) {
+            for (int d = 0; d < CANDIDATE_DIRECTIONS; d++) {
+                double angle = 2 * Math.PI * d / CANDIDATE_DIRECTIONS;
+                CANDIDATE_DX[i] = (int) Math.round(radius * Math.cos(angle));
+                CANDIDATE_DY[i] = (int) Math.round(radius * Math.sin(angle));
+                i++;
+            }
+        }
+    }
+
+    private final Wave[] waves; // Wave definitions, the last one repeats forever
+    private final Random rand = new Random(); // Shared by all spawns
+    private int waveNumber; // Current wave, starting at 1
+    private int spawned; // Asteroids spawned so far in the current wave
+
+    /**
+     * Constructs a WaveDirector.
+     *
+     * @param waves the wave definitions, at least one
+     */
+    public WaveDirector(List<Wave> waves) {
+        if (waves.isEmpty()) {
+            throw new IllegalArgumentException("At least one wave is required");
+        }
+        this.waves = waves.toArray(new Wave[0]);
+        reset();
+    }
+
+    /**
+     * Creates a WaveDirector from a wave file on the classpath.
+     * Falls back to the classic endless field of five asteroids if the file is missing or invalid.
+     *
+     * @param resource the classpath location of the wave file
+     * @return a new WaveDirector
+     */
+    public static WaveDirector load(String resource) {
+        return new WaveDirector(loadWaves(resource));
+    }
+
+    /**
+     * Reads wave definitions from a wave file on the classpath.
+     * Falls back to the classic endless field of five asteroids if the file is missing or invalid.
+     *
+     * @param resource the classpath location of the wave file
+     * @return the waves, at least one
+     */
+    static List<Wave> loadWaves(String resource) {
+        InputStream in = WaveDirector.class.getResourceAsStream(resource);
+        if (in != null) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                List<Wave> waves = parse(reader);
+                if (!waves.isEmpty()) {
+                    return waves;
+                }
+                System.err.println("No waves in " + resource + ", using default waves");
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Could not load " + resource + ", using default waves: " + e.getMessage());
+            }
+        } else {
+            System.err.println("Could not find " + resource + ", using default waves");
+        }
+        List<Wave> classic = new ArrayList<>();
+        classic.add(new Wave(Integer.MAX_VALUE, 5, 5, 1, 3, 10, 29));
+        return classic;
+    }
+
+    /**
+     * Parses wave definitions. Each non-empty line that does not start with '#' holds seven
+     * numbers: count, maxActive, batch, minSpeed, maxSpeed, minSize, maxSize.
+     *
+     * @param reader the wave file
+     * @return the waves in file order
+     * @throws IOException if the file cannot be read
+     */
+    static List<Wave> parse(BufferedReader reader) throws IOException {
+        List<Wave> waves = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue; // Skip blank lines and comments
+            }
+            String[] fields = line.split("\\s+");
+            if (fields.length != 7) {
+                throw new IllegalArgumentException("line " + lineNumber + ": expected 7 numbers, got " + fields.length);
+            }
+            int[] v = new int[7];
+            try {
+                for (int i = 0; i < 7; i++) {
+                    v[i] = Integer.parseInt(fields[i]);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("line " + lineNumber + ": " + e.getMessage());
+            }
+            if (v[0] <= 0 || v[1] <= 0 || v[2] <= 0 || v[3] <= 0 || v[3] > v[4] || v[5] <= 0 || v[5] > v[6]) {
+                throw new IllegalArgumentException("line " + lineNumber + ": values out of range");
+            }
+            waves.add(new Wave(v[0], v[1], v[2], v[3], v[4], v[5], v[6]));
+        }
+        return waves;
+    }
+
+    /**
+     * Goes back to the first wave.
+     */
+    public void reset() {
+        waveNumber = 1;
+        spawned = 0;
+    }
+
+    /**
+     * Starts the current wave over, for example after the spaceship was destroyed
+     * and the asteroid field was cleared.
+     */
+    public void restartWave() {
+        spawned = 0;
+    }
+
+    /**
+     * Advances to the next wave once the current one is cleared, then spawns at most one batch
+     * of asteroids within the per-tick time budget.
+     *
+     * @param asteroids the asteroids in the game, new asteroids are appended
+     * @param spaceship the spaceship to keep new asteroids away from
+     */
+    public void update(List<Asteroid> asteroids, Spaceship spaceship) {
+        Wave wave = currentWave();
+        if (spawned >= wave.count && asteroids.isEmpty()) {
+            waveNumber++; // Wave cleared
+            spawned = 0;
+            wave = currentWave();
+        }
+
+        int toSpawn = Math.min(wave.batch, Math.min(wave.count - spawned, wave.maxActive - asteroids.size()));
+        long start = System.nanoTime();
+        long used = 0; // Candidates taken by this batch, one bit each
+        for (int i = 0; i < toSpawn; i++) {
+            if (used == ALL_CANDIDATES) {
+                used = 0; // Batch larger than the candidate set, start a new round
+            }
+            int candidate = freeCandidate(rand.nextInt(CANDIDATE_DX.length - Long.bitCount(used)), used);
+            used |= 1L << candidate;
+            asteroids.add(spawn(wave, spaceship, candidate));
+            spawned++;
+            if (System.nanoTime() - start > SPAWN_BUDGET_NANOS) {
+                break; // Out of time, continue next tick
+            }
+        }
+    }
+
+    /**
+     * Gets a candidate that the current batch has not used yet. Drawing the rank uniformly
+     * gives every free candidate the same chance, so one batch spreads around the rings
+     * instead of stacking several asteroids on the same spot.
+     *
+     * @param rank the position among the free candidates, below 64 minus the used count
+     * @param used the candidates already used, one bit each
+     * @return the index of the free candidate
+     */
+    static int freeCandidate(int rank, long used) {
+        long free = ~used;
+        for (int i = 0; i < rank; i++) {
+            free &= free - 1; // Drop the lowest free candidate
+        }
+        return Long.numberOfTrailingZeros(free);
+    }
+
+    /**
+     * Creates one asteroid at a candidate position around the spaceship.
+     *
+     * @param wave the wave that sets the speed and size ranges
+     * @param spaceship the spaceship to keep the asteroid away from
+     * @param candidate the candidate offset to place the asteroid at
+     * @return the new asteroid
+     */
+    private Asteroid spawn(Wave wave, Spaceship spaceship, int candidate) {
+        int x = spaceship.getX() + CANDIDATE_DX[candidate] + rand.nextInt(2 * JITTER + 1) - JITTER;
+        int y = spaceship.getY() + CANDIDATE_DY[candidate] + rand.nextInt(2 * JITTER + 1) - JITTER;
+        x = Math.floorMod(x, GamePanel.WIDTH); // Wrap into the visible area
+        y = Math.floorMod(y, GamePanel.HEIGHT);
+        double angle = rand.nextDouble() * 2 * Math.PI;
+        int speed = wave.minSpeed + rand.nextInt(wave.maxSpeed - wave.minSpeed + 1);
+        int size = wave.minSize + rand.nextInt(wave.maxSize - wave.minSize + 1);
+        return new Asteroid(x, y, angle, speed, size);
+    }
+
+    /**
+     * Gets the definition of the current wave. Waves past the end of the file repeat the last one.
+     *
+     * @return the current wave
+     */
+    private Wave currentWave() {
+        return waves[Math.min(waveNumber, waves.length) - 1];
+    }
+
+    /**
+     * Gets the number of the current wave.
+     *
+     * @return the current wave, starting at 1
+     */
+    public int getWaveNumber() {
+        return waveNumber;
+    }
+
+    /**
+     * Definition of one wave.
+     */
+    static final class Wave {
+        final int count; // Asteroids spawned over the whole wave
+        final int maxActive; // Most asteroids on screen at once
+        final int batch; // Most asteroids spawned in one tick
+        final int minSpeed, maxSpeed; // Speed range, inclusive
+        final int minSize, maxSize; // Size range, inclusive
+
+        Wave(int count, int maxActive, int batch, int minSpeed, int maxSpeed, int minSize, int maxSize) {
+            this.count = count;
+            this.maxActive = maxActive;
+            this.batch = batch;
+            this.minSpeed = minSpeed;
+            this.maxSpeed = maxSpeed;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.SourceDataLine;
+import javax.swing.JFrame;
+
+/**
+ * IdleCpuProbe measures the CPU the game's idle paths cost, using the game's own classes.
+ *
+ * - Sound: a real SoundEngine plays an effect, then goes idle once its voices finish. The
+ *   mixer thread's CPU is sampled while mixing and while idle. When no audio device exists the
+ *   engine writes to a stand-in line that blocks for the play time of each chunk, as a device
+ *   line does once its buffer is full.
+ * - Game: where a display is available, a real GamePanel is started and paused and resumed
+ *   with the P key, and the process CPU is sampled in each state. Without a display this part
+ *   is reported as not measured.
+ *
+ * Not part of the game. Build and run from the repository root:
+ *   javac -encoding UTF-8 -d build "Astroids Java"/*.java tools/IdleCpuProbe.java
+ *   java -cp "build:Astroids Java" IdleCpuProbe [seconds per phase, default 5]
+ */
+public class IdleCpuProbe {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.OperatingSystemMXBean OS =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        probeSound(seconds);
+        probeGame(seconds);
+    }
+
+    /**
+     * Samples the mixer thread of a real SoundEngine while it mixes and after it goes idle.
+     */
+    private static void probeSound(int seconds) throws Exception {
+        SoundEngine engine = SoundEngine.open();
+        Thread mixer = findThread("SoundEngine-Mixer");
+        String lineName = "audio device";
+        if (mixer == null) {
+            engine.close(); // Silent engine, no device
+            engine = SoundEngine.start(pacedLine());
+            mixer = findThread("SoundEngine-Mixer");
+            lineName = "paced stand-in line";
+        }
+        System.out.println("Sound engine on " + lineName);
+
+        // Mixing: retrigger an effect faster than it ends, so voices never run out
+        long cpuStart = THREADS.getThreadCpuTime(mixer.getId());
+        long wallStart = System.nanoTime();
+        long end = wallStart + seconds * 1_000_000_000L;
+        while (System.nanoTime() < end) {
+            engine.play(SoundEngine.Effect.ASTEROID_DESTROYED);
+            Thread.sleep(50);
+        }
+        report("mixing", THREADS.getThreadCpuTime(mixer.getId()) - cpuStart, System.nanoTime() - wallStart, mixer);
+
+        // Idle: no more triggers, wait for the voices to finish and the mixer to park
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (mixer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        cpuStart = THREADS.getThreadCpuTime(mixer.getId());
+        wallStart = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        report("idle", THREADS.getThreadCpuTime(mixer.getId()) - cpuStart, System.nanoTime() - wallStart, mixer);
+        engine.close();
+    }
+
+    /**
+     * Samples the process while a real GamePanel runs, is paused with P, and is resumed with P.
+     */
+    private static void probeGame(int seconds) throws Exception {
+        if (GraphicsEnvironment.isHeadless()) {
+            System.out.println("Game panel: no display available, pause and resume not measured");
+            return;
+        }
+        JFrame frame = new JFrame("Asteroids Game");
+        GamePanel[] panel = new GamePanel[1];
+        EventQueue.invokeAndWait(() -> {
+            panel[0] = new GamePanel(frame);
+            frame.add(panel[0]);
+            frame.pack();
+            frame.setVisible(true);
+            panel[0].onStartGame();
+        });
+        Thread.sleep(1000); // Let the first frames settle
+        System.out.println("Game panel");
+
+        sampleProcess("running", seconds);
+        pressP(panel[0]);
+        sampleProcess("paused", seconds);
+        pressP(panel[0]);
+        sampleProcess("resumed", seconds);
+
+        EventQueue.invokeAndWait(frame::dispose);
+    }
+
+    /**
+     * Sends a press and release of P to the panel on the event dispatch thread.
+     */
+    private static void pressP(GamePanel panel) throws Exception {
+        EventQueue.invokeAndWait(() -> {
+            long when = System.currentTimeMillis();
+            panel.dispatchEvent(new KeyEvent(panel, KeyEvent.KEY_PRESSED, when, 0, KeyEvent.VK_P, 'p'));
+            panel.dispatchEvent(new KeyEvent(panel, KeyEvent.KEY_RELEASED, when, 0, KeyEvent.VK_P, 'p'));
+        });
+        Thread.sleep(200); // Let a last tick or repaint finish
+    }
+
+    private static void sampleProcess(String phase, int seconds) throws Exception {
+        long cpuStart = OS.getProcessCpuTime();
+        long wallStart = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        long cpu = OS.getProcessCpuTime() - cpuStart;
+        long wall = System.nanoTime() - wallStart;
+        System.out.printf("  %-8s process %8.2f ms CPU per second%n", phase, cpu / 1e6 / (wall / 1e9));
+    }
+
+    private static void report(String phase, long cpu, long wall, Thread mixer) {
+        System.out.printf("  %-8s mixer thread %8.3f ms CPU per second, state %s%n",
+                phase, cpu / 1e6 / (wall / 1e9), mixer.getState());
+    }
+
+    private static Thread findThread(String name) {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(name)) {
+                return thread;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates a line that accepts every write and blocks for the time the written frames
+     * take to play at the engine's sample rate. Other methods do nothing.
+     */
+    private static SourceDataLine pacedLine() {
+        return (SourceDataLine) Proxy.newProxyInstance(IdleCpuProbe.class.getClassLoader(),
+                new Class<?>[] {SourceDataLine.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("write")) {
+                        int length = (Integer) args[2];
+                        LockSupport.parkNanos((long) (length / 2 * 1e9 / SoundEngine.SAMPLE_RATE));
+                        return length;
+                    }
+                    Class<?> type = method.getReturnType();
+                    if (type == boolean.class) return false;
+                    if (type == int.class) return 0;
+                    if (type == long.class) return 0L;
+                    if (type == float.class) return 0f;
+                    return null;
+                });
+    }
+}